@@ -4,23 +4,33 @@ import com.example.utils.EclipseProgress;
 import com.example.utils.GameState;
 import com.example.utils.RandomWordGenerator;
 
+import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.InputEvent;
 import javafx.scene.input.KeyEvent;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
 import javafx.util.Duration;
 import java.net.URL;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Esta clase gestiona la lógica central de un juego de palabras,
@@ -84,11 +94,62 @@ public class GameController implements Initializable {
      */
     private Timeline timer;
 
+    /**
+     * Segundos sin interacción del jugador tras los cuales, por defecto, el juego entra en modo inactivo.
+     */
+    private static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Segundos sin interacción del jugador tras los cuales el juego entra en modo inactivo.
+     */
+    private int idleTimeoutSeconds = DEFAULT_IDLE_TIMEOUT_SECONDS;
+
+    /**
+     * Instante (en nanosegundos) de la última interacción del jugador con la ventana.
+     */
+    private long lastActivity = System.nanoTime();
+
+    /**
+     * Indica si el juego está en modo inactivo por falta de interacción, ventana minimizada o sin foco.
+     */
+    private boolean idle;
+
+    /**
+     * Indica si el temporizador de la ronda fue pausado al entrar en modo inactivo.
+     */
+    private boolean timerPausedForIdle;
+
+    /**
+     * Indica si hay una verificación de inactividad programada.
+     */
+    private boolean idleCheckScheduled;
+
+    /**
+     * Programador de las verificaciones de inactividad.
+     * Usa un hilo propio en lugar de una animación de JavaFX para no mantener activo el ciclo de pulsos,
+     * y solo despierta cuando vence el plazo de inactividad.
+     */
+    private final ScheduledExecutorService idleScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idle-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Mensaje que se mostraba antes de entrar en modo inactivo, para restaurarlo al reanudar.
+     */
+    private String messageBeforeIdle;
+
     /**
      * Instancia de EclipseProgress para gestionar la visualización del progreso del eclipse.
      */
     private final EclipseProgress eclipseProgress = new EclipseProgress();
 
+    /**
+     * Caracteres permitidos en el modo de práctica, o null si se juega con todo el diccionario.
+     */
+    private String drillCharacters;
+
     // Componentes FXML
     @FXML private Label levelLabel;
     @FXML private Label timeLabel;
@@ -106,6 +167,7 @@ public class GameController implements Initializable {
     public GameController() {
         gameState = new GameState();
         wordGenerator = new RandomWordGenerator();
+        wordGenerator.setNoRepeat(true);
         currentWord.bind(gameState.currentWordProperty());
         level.bind(gameState.levelProperty());
         timeLeft.bindBidirectional(gameState.timeLeftProperty());
@@ -139,6 +201,13 @@ public class GameController implements Initializable {
         // Configurar evento de tecla para el campo de texto
         inputField.setOnKeyPressed(this::handleKeyPress);
 
+        // Configurar el modo inactivo cuando la vista se agregue a una escena
+        phraseLabel.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                configureIdleMode(newScene);
+            }
+        });
+
         // Iniciar el juego
         startNewRound();
     }
@@ -194,12 +263,14 @@ public class GameController implements Initializable {
     /**
      * Restablece el juego a su estado inicial.
      * Prepara el juego para una nueva sesión restableciendo valores del nivel actual, del recuento de errores y del tiempo restante.
+     * Cada sesión recibe además un nuevo orden de palabras sin repetición.
      * También actualiza los componentes de la interfaz (botones e imágenes) para reflejar el estado inicial.
      */
     private void resetGame() {
         gameState.setLevel(1);
         errors.set(0);
         gameState.setTimeLeft(20);
+        wordGenerator.resetSequence();
         submitButton.setDisable(false);
         restartButton.setVisible(false);
         String initialImage = eclipseProgress.getEclipseImageForErrors(0);
@@ -213,7 +284,24 @@ public class GameController implements Initializable {
      * Genera una nueva palabra aleatoria utilizando el generador de palabras.
      */
     private void generateNewWord() {
-        gameState.setCurrentWord(wordGenerator.generateWord());
+        if (drillCharacters == null) {
+            gameState.setCurrentWord(wordGenerator.generateWord());
+        } else {
+            gameState.setCurrentWord(wordGenerator.generateWordFrom(drillCharacters).orElseThrow());
+        }
+    }
+
+    /**
+     * Activa el modo de práctica, en el que solo aparecen palabras que pueden escribirse
+     * con los caracteres dados (por ejemplo, las letras aprendidas hasta ahora).
+     * @param drillCharacters Los caracteres permitidos, o null para volver a usar todo el diccionario.
+     * @throws IllegalArgumentException si ninguna palabra del diccionario usa únicamente esos caracteres.
+     */
+    public void setDrillCharacters(String drillCharacters) {
+        if (drillCharacters != null && !wordGenerator.canGenerateFrom(drillCharacters)) {
+            throw new IllegalArgumentException("Ninguna palabra usa únicamente los caracteres: " + drillCharacters);
+        }
+        this.drillCharacters = drillCharacters;
     }
 
     /**
@@ -221,6 +309,7 @@ public class GameController implements Initializable {
      * El temporizador disminuye el tiempo restante cada segundo y actualiza el estado del juego según corresponda.
      * Cuando se agota el tiempo, el juego evalúa la respuesta del jugador.
      * El tiempo de cuenta regresiva inicial se calcula según el nivel de juego actual.
+     * Si el juego está en modo inactivo, el temporizador queda en pausa hasta que el jugador vuelva.
      */
     private void startTimer() {
         int initialTime = calculateInitialTime();
@@ -242,6 +331,11 @@ public class GameController implements Initializable {
         );
         timer.setCycleCount(Timeline.INDEFINITE);
         timer.play();
+        if (idle) {
+            timer.pause();
+            timerPausedForIdle = true;
+            phraseLabel.setVisible(false);
+        }
     }
 
     /**
@@ -279,6 +373,8 @@ public class GameController implements Initializable {
             this.submitButton.setDisable(true);
             this.restartButton.setVisible(true);
             this.timer.stop();
+            // Retirar el foco del campo de texto para detener el parpadeo del cursor
+            this.restartButton.requestFocus();
         } else {
             generateNewWord();
             startTimer();
@@ -327,4 +423,181 @@ public class GameController implements Initializable {
                     new Image(getClass().getResourceAsStream(imagePath)));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Configura el modo inactivo sobre la escena y la ventana que contienen la vista.
+     * Cualquier interacción del jugador registra actividad, y el juego entra en modo inactivo cuando la ventana
+     * pierde el foco o se minimiza, y sale de él cuando vuelve a estar disponible.
+     * @param scene La escena que contiene la vista del juego.
+     */
+    private void configureIdleMode(Scene scene) {
+        scene.addEventFilter(InputEvent.ANY, event -> registerActivity());
+        scene.windowProperty().addListener((obs, oldWindow, newWindow) -> {
+            if (newWindow == null) {
+                return;
+            }
+            newWindow.focusedProperty().addListener((focusObs, wasFocused, isFocused) -> {
+                if (isFocused) {
+                    registerActivity();
+                } else {
+                    enterIdle();
+                }
+            });
+            if (newWindow instanceof Stage stage) {
+                stage.iconifiedProperty().addListener((iconifiedObs, wasIconified, isIconified) -> {
+                    if (isIconified) {
+                        enterIdle();
+                    } else {
+                        registerActivity();
+                    }
+                });
+            }
+            // Leer el estado actual de la ventana: si nunca recibe el foco, no habrá eventos de cambio
+            newWindow.addEventHandler(WindowEvent.WINDOW_SHOWN, event -> syncIdleWithWindow(newWindow));
+            newWindow.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> shutdownIdleMode());
+            if (newWindow.isShowing()) {
+                syncIdleWithWindow(newWindow);
+            }
+        });
+    }
+
+    /**
+     * Ajusta el modo inactivo al estado actual de la ventana.
+     * Si la ventana no tiene el foco o está minimizada, entra en modo inactivo;
+     * en caso contrario, programa la primera verificación de inactividad.
+     * @param window La ventana que contiene la vista del juego.
+     */
+    private void syncIdleWithWindow(Window window) {
+        if (!window.isFocused() || window instanceof Stage stage && stage.isIconified()) {
+            enterIdle();
+        } else {
+            scheduleIdleCheck(idleTimeoutNanos());
+        }
+    }
+
+    /**
+     * Registra una interacción del jugador, sale del modo inactivo si corresponde
+     * y se asegura de que haya una verificación de inactividad programada.
+     */
+    private void registerActivity() {
+        lastActivity = System.nanoTime();
+        if (idle) {
+            exitIdle();
+        }
+        if (!idle) {
+            scheduleIdleCheck(idleTimeoutNanos());
+        }
+    }
+
+    /**
+     * Programa una verificación de inactividad, salvo que ya exista una pendiente.
+     * La verificación se ejecuta en el hilo de JavaFX.
+     * @param delayNanos El tiempo de espera en nanosegundos.
+     */
+    private void scheduleIdleCheck(long delayNanos) {
+        if (idleCheckScheduled || idleScheduler.isShutdown()) {
+            return;
+        }
+        idleCheckScheduled = true;
+        idleScheduler.schedule(() -> Platform.runLater(this::checkIdle), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Detiene el programador de verificaciones de inactividad y el temporizador de la ronda.
+     * Se invoca al ocultarse o cerrarse la ventana, para no dejar hilos ni animaciones activos.
+     */
+    private void shutdownIdleMode() {
+        idleScheduler.shutdownNow();
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Comprueba si ha pasado el plazo de inactividad desde la última interacción.
+     * Si ha pasado, entra en modo inactivo; si no, vuelve a programar la verificación para el tiempo que falta.
+     */
+    private void checkIdle() {
+        idleCheckScheduled = false;
+        if (idle) {
+            return;
+        }
+        long remaining = idleTimeoutNanos() - (System.nanoTime() - lastActivity);
+        if (remaining > 0) {
+            scheduleIdleCheck(remaining);
+        } else {
+            enterIdle();
+        }
+    }
+
+    /**
+     * Calcula el plazo de inactividad vigente.
+     * @return El plazo de inactividad en nanosegundos.
+     */
+    private long idleTimeoutNanos() {
+        return TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+    }
+
+    /**
+     * Establece los segundos sin interacción tras los cuales el juego entra en modo inactivo.
+     * @param idleTimeoutSeconds El plazo de inactividad en segundos, mayor que cero.
+     * @throws IllegalArgumentException si el plazo no es positivo.
+     */
+    public void setIdleTimeoutSeconds(int idleTimeoutSeconds) {
+        if (idleTimeoutSeconds <= 0) {
+            throw new IllegalArgumentException("El plazo de inactividad debe ser mayor que cero.");
+        }
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+    }
+
+    /**
+     * Entra en modo inactivo: pausa el temporizador si hay una ronda en curso y retira el foco
+     * del campo de texto, de modo que no queden animaciones activas mientras nadie está jugando.
+     * La palabra se oculta durante la pausa para que no pueda estudiarse con el reloj detenido.
+     * También se aplica tras el fin del juego, cuando no hay ninguna ronda en marcha.
+     */
+    private void enterIdle() {
+        if (idle) {
+            return;
+        }
+        idle = true;
+        if (timer != null && timer.getStatus() == Animation.Status.RUNNING) {
+            timer.pause();
+            timerPausedForIdle = true;
+            messageBeforeIdle = messageLabel.getText();
+            messageLabel.setText("Juego en pausa. Presiona cualquier tecla para continuar.");
+            phraseLabel.setVisible(false);
+        }
+        inputField.getParent().requestFocus();
+    }
+
+    /**
+     * Sale del modo inactivo y reanuda el temporizador desde el punto en que se pausó,
+     * conservando el tiempo restante de la ronda.
+     * No tiene efecto si la ventana sigue minimizada o sin foco.
+     */
+    private void exitIdle() {
+        if (phraseLabel.getScene() == null || phraseLabel.getScene().getWindow() == null
+                || !phraseLabel.getScene().getWindow().isFocused()) {
+            return;
+        }
+        if (phraseLabel.getScene().getWindow() instanceof Stage stage && stage.isIconified()) {
+            return;
+        }
+        idle = false;
+        if (timerPausedForIdle) {
+            timerPausedForIdle = false;
+            if (messageBeforeIdle != null) {
+                messageLabel.setText(messageBeforeIdle);
+                messageBeforeIdle = null;
+            }
+            phraseLabel.setVisible(true);
+            timer.play();
+        }
+        if (submitButton.isDisabled()) {
+            restartButton.requestFocus();
+        } else {
+            inputField.requestFocus();
+        }
+    }
+}
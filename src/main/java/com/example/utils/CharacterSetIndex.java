@@ -0,0 +1,210 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice que agrupa las palabras de un diccionario según el conjunto de caracteres que utilizan.
+ * Cada palabra se representa con una máscara de bits (un bit por carácter) calculada una sola vez,
+ * y las palabras con la misma máscara comparten un mismo grupo.
+ * Para encontrar los grupos contenidos en un conjunto de teclas se usan dos estrategias:
+ * si el conjunto es pequeño se recorren sus subconjuntos y se buscan directamente en el índice;
+ * si es grande se descartan, con un índice invertido por carácter, los grupos que usan alguna tecla no permitida.
+ * @author David Esteban Valencia
+ */
+public class CharacterSetIndex {
+    /**
+     * Bit reservado para los caracteres poco frecuentes que no tienen un bit propio.
+     * Las palabras que lo usan se verifican carácter por carácter.
+     */
+    private static final int OVERFLOW_BIT = 63;
+
+    /**
+     * Cantidad máxima de consultas cuyos resultados se conservan en caché.
+     */
+    private static final int MAX_CACHED_QUERIES = 64;
+
+    /**
+     * Posición del bit de cada carácter en las máscaras, indexada por el propio carácter.
+     * Los caracteres sin bit propio apuntan al bit de desbordamiento.
+     */
+    private final byte[] characterBits = new byte[Character.MAX_VALUE + 1];
+
+    /**
+     * Máscara con todos los bits usados por el diccionario.
+     */
+    private final long alphabetMask;
+
+    /**
+     * Asociación de cada máscara de caracteres con la posición de su grupo.
+     */
+    private final Map<Long, Integer> groupByMask = new HashMap<>();
+
+    /**
+     * Palabras de cada grupo, indexadas por la posición del grupo.
+     */
+    private final List<List<String>> groupWords = new ArrayList<>();
+
+    /**
+     * Índice invertido: para cada bit de carácter, los grupos cuyas palabras contienen ese carácter.
+     */
+    private final BitSet[] groupsWithCharacter = new BitSet[OVERFLOW_BIT + 1];
+
+    /**
+     * Resultados de consultas anteriores, indexados por la máscara de la consulta.
+     */
+    private final Map<Long, List<String>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<String>> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+
+    /**
+     * Construye el índice a partir de una lista de palabras.
+     * Los caracteres más frecuentes reciben un bit propio; si hay más de los que caben en la máscara,
+     * los restantes comparten el bit de desbordamiento.
+     * @param words Las palabras a indexar.
+     */
+    public CharacterSetIndex(List<String> words) {
+        int[] frequencies = new int[Character.MAX_VALUE + 1];
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                frequencies[word.charAt(i)]++;
+            }
+        }
+        List<Character> alphabet = new ArrayList<>();
+        for (int character = 0; character < frequencies.length; character++) {
+            if (frequencies[character] > 0) {
+                alphabet.add((char) character);
+            }
+        }
+        alphabet.sort((a, b) -> frequencies[b] - frequencies[a]);
+        Arrays.fill(characterBits, (byte) OVERFLOW_BIT);
+        for (int i = 0; i < alphabet.size() && i < OVERFLOW_BIT; i++) {
+            characterBits[alphabet.get(i)] = (byte) i;
+        }
+
+        for (int bit = 0; bit < groupsWithCharacter.length; bit++) {
+            groupsWithCharacter[bit] = new BitSet();
+        }
+        long usedBits = 0;
+        for (String word : words) {
+            long mask = maskOf(word);
+            usedBits |= mask;
+            Integer group = groupByMask.get(mask);
+            if (group == null) {
+                group = groupWords.size();
+                groupByMask.put(mask, group);
+                groupWords.add(new ArrayList<>());
+                for (long bits = mask; bits != 0; bits &= bits - 1) {
+                    groupsWithCharacter[Long.numberOfTrailingZeros(bits)].set(group);
+                }
+            }
+            groupWords.get(group).add(word);
+        }
+        alphabetMask = usedBits;
+    }
+
+    /**
+     * Obtiene las palabras que pueden escribirse usando únicamente los caracteres dados.
+     * @param allowedCharacters Los caracteres permitidos, por ejemplo "aeiou".
+     * @return Una lista inmodificable, posiblemente vacía, con las palabras cuyos caracteres
+     * pertenecen al conjunto dado.
+     */
+    public List<String> wordsUsingOnly(String allowedCharacters) {
+        long queryMask = maskOf(allowedCharacters) & alphabetMask;
+        if ((queryMask & (1L << OVERFLOW_BIT)) != 0) {
+            return collect(queryMask, allowedCharacters);
+        }
+        return cache.computeIfAbsent(queryMask, mask -> collect(mask, allowedCharacters));
+    }
+
+    /**
+     * Reúne las palabras de todos los grupos cuya máscara está contenida en la máscara de la consulta.
+     * Recorre los subconjuntos de la consulta cuando son menos que los grupos; en caso contrario,
+     * usa el índice invertido para descartar los grupos que contienen algún carácter no permitido.
+     * @param queryMask La máscara de los caracteres permitidos.
+     * @param allowedCharacters Los caracteres permitidos, usados para verificar los grupos con desbordamiento.
+     * @return Una lista inmodificable con las palabras encontradas.
+     */
+    private List<String> collect(long queryMask, String allowedCharacters) {
+        List<String> result = new ArrayList<>();
+        int allowedBits = Long.bitCount(queryMask);
+        if (allowedBits < 31 && (1 << allowedBits) <= groupWords.size()) {
+            for (long subset = queryMask; ; subset = (subset - 1) & queryMask) {
+                Integer group = groupByMask.get(subset);
+                if (group != null) {
+                    addGroup(result, group, allowedCharacters);
+                }
+                if (subset == 0) {
+                    break;
+                }
+            }
+        } else {
+            BitSet excluded = new BitSet(groupWords.size());
+            for (long bits = alphabetMask & ~queryMask; bits != 0; bits &= bits - 1) {
+                excluded.or(groupsWithCharacter[Long.numberOfTrailingZeros(bits)]);
+            }
+            for (int group = excluded.nextClearBit(0); group < groupWords.size();
+                    group = excluded.nextClearBit(group + 1)) {
+                addGroup(result, group, allowedCharacters);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Agrega al resultado las palabras de un grupo, verificando carácter por carácter
+     * las que usan el bit de desbordamiento.
+     * @param result La lista donde se acumulan las palabras.
+     * @param group La posición del grupo.
+     * @param allowedCharacters Los caracteres permitidos.
+     */
+    private void addGroup(List<String> result, int group, String allowedCharacters) {
+        if (!groupsWithCharacter[OVERFLOW_BIT].get(group)) {
+            result.addAll(groupWords.get(group));
+            return;
+        }
+        for (String word : groupWords.get(group)) {
+            if (usesOnly(word, allowedCharacters)) {
+                result.add(word);
+            }
+        }
+    }
+
+    /**
+     * Calcula la máscara de bits de los caracteres de un texto.
+     * Los caracteres sin bit propio se marcan con el bit de desbordamiento.
+     * @param text El texto a convertir.
+     * @return La máscara con un bit encendido por cada carácter del texto.
+     */
+    private long maskOf(String text) {
+        long mask = 0;
+        for (int i = 0; i < text.length(); i++) {
+            mask |= 1L << characterBits[text.charAt(i)];
+        }
+        return mask;
+    }
+
+    /**
+     * Verifica carácter por carácter que una palabra solo use los caracteres permitidos.
+     * @param word La palabra a verificar.
+     * @param allowedCharacters Los caracteres permitidos.
+     * @return true si todos los caracteres de la palabra están permitidos.
+     */
+    private static boolean usesOnly(String word, String allowedCharacters) {
+        for (int i = 0; i < word.length(); i++) {
+            if (allowedCharacters.indexOf(word.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.utils;
+
+/**
+ * Permutación pseudoaleatoria con clave sobre el rango de índices [0, size).
+ * Utiliza una red de Feistel balanceada sobre el menor dominio de potencia de dos que contiene
+ * el rango y aplica "cycle walking" para descartar los valores que quedan fuera de él.
+ * Cada clave produce un orden distinto sin repeticiones, usando memoria constante.
+ * @author David Esteban Valencia
+ */
+public class FeistelPermutation {
+    /**
+     * Número de rondas de la red de Feistel.
+     */
+    private static final int ROUNDS = 4;
+
+    /**
+     * Cantidad de índices que abarca la permutación.
+     */
+    private final int size;
+
+    /**
+     * Número de bits de cada mitad del bloque de Feistel.
+     */
+    private final int halfBits;
+
+    /**
+     * Máscara que conserva únicamente los bits de una mitad del bloque.
+     */
+    private final int halfMask;
+
+    /**
+     * Clave que determina el orden de la permutación.
+     */
+    private final long key;
+
+    /**
+     * Construye una permutación sobre el rango [0, size) determinada por la clave dada.
+     * @param size La cantidad de índices a permutar, mayor que cero.
+     * @param key La clave que define el orden de la permutación.
+     */
+    public FeistelPermutation(int size, long key) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("El tamaño de la permutación debe ser mayor que cero.");
+        }
+        this.size = size;
+        this.key = key;
+        int bits = Math.max(2, 32 - Integer.numberOfLeadingZeros(size - 1));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1 << halfBits) - 1;
+    }
+
+    /**
+     * Obtiene la cantidad de índices que abarca la permutación.
+     * @return El tamaño del rango permutado.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene la imagen de un índice dentro de la permutación.
+     * @param index El índice de entrada, dentro de [0, size).
+     * @return El índice permutado, también dentro de [0, size).
+     */
+    public int permute(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return value;
+    }
+
+    /**
+     * Aplica las rondas de Feistel sobre un valor del dominio de potencia de dos.
+     * @param value El valor a cifrar.
+     * @return El valor cifrado, dentro del mismo dominio.
+     */
+    private int encrypt(int value) {
+        int left = (value >>> halfBits) & halfMask;
+        int right = value & halfMask;
+        for (int round = 0; round < ROUNDS; round++) {
+            int next = left ^ roundFunction(right, round);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * Función de ronda: mezcla la mitad derecha con la clave y el número de ronda.
+     * @param half La mitad derecha del bloque.
+     * @param round El número de ronda actual.
+     * @return Un valor pseudoaleatorio limitado a los bits de una mitad.
+     */
+    private int roundFunction(int half, int round) {
+        long mixed = key + (round + 1) * 0x9E3779B97F4A7C15L + half;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        mixed = mixed ^ (mixed >>> 31);
+        return (int) mixed & halfMask;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.utils;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
+import java.util.stream.Stream;
 
 import com.example.interfaces.IWordGenerator;
 
@@ -13,8 +15,10 @@ public class RandomWordGenerator implements IWordGenerator {
     /**
      * Lista predefinida e inmodificable de Strings que representan diversas palabras del español.
      * Esta lista está diseñada para servir como una colección localizada de palabras.
+     * Las entradas repetidas se descartan al construirla, de modo que cada palabra tenga la misma
+     * probabilidad de ser seleccionada.
      */
-    private final List<String> localWords = List.of(
+    private final List<String> localWords = Stream.of(
             "manzana", "perro", "gato", "casa", "libro", "silla", "mesa", "puerta", "ventana", "coche",
             "camión", "bicicleta", "moto", "tren", "avión", "barco", "playa", "montaña", "río", "bosque",
             "ciudad", "pueblo", "edificio", "tienda", "mercado", "hospital", "escuela", "universidad",
@@ -76,15 +80,91 @@ public class RandomWordGenerator implements IWordGenerator {
             "quinto poder", "periodismo ciudadano", "wikileaks", "anonymous", "deep web", "dark web", "bitácora",
             "epistemología","heurístico","exégesis","hermenéutica","tautología","anátema", "eutanasia",
             "paroxismo","idiosincrasia", "escéptico", "melancolía","sinergia"
-    );
+    ).distinct().toList();
     private final Random random = new Random();
 
+    /**
+     * Indica si las palabras se generan sin repetición, recorriendo una permutación de la lista.
+     */
+    private boolean noRepeat;
+
+    /**
+     * Permutación que define el orden de las palabras en el modo sin repetición.
+     */
+    private FeistelPermutation permutation;
+
+    /**
+     * Posición actual dentro de la permutación en el modo sin repetición.
+     */
+    private int position;
+
+    /**
+     * Índice de las palabras según los caracteres que utilizan, construido al cargar el diccionario.
+     */
+    private final CharacterSetIndex characterSetIndex = new CharacterSetIndex(localWords);
+
     /**
      * Genera una palabra aleatoria de la lista de palabras disponibles.
+     * En el modo sin repetición, ninguna palabra vuelve a aparecer hasta que se hayan mostrado todas.
      * @return Una palabra seleccionada aleatoriamente.
      */
     @Override
     public String generateWord() {
-        return localWords.get(random.nextInt(localWords.size()));
+        if (!noRepeat) {
+            return localWords.get(random.nextInt(localWords.size()));
+        }
+        if (permutation == null || position >= permutation.size()) {
+            resetSequence();
+        }
+        return localWords.get(permutation.permute(position++));
+    }
+
+    /**
+     * Activa o desactiva el modo sin repetición.
+     * Al activarlo se inicia una nueva secuencia de palabras.
+     * @param noRepeat true para generar palabras sin repetición, false para muestrear con reemplazo.
+     */
+    public void setNoRepeat(boolean noRepeat) {
+        this.noRepeat = noRepeat;
+        if (noRepeat) {
+            resetSequence();
+        }
+    }
+
+    /**
+     * Inicia una nueva secuencia sin repetición con un orden distinto al anterior.
+     * Solo se guarda la clave de la permutación y la posición actual, sin copiar ni barajar la lista.
+     * La primera palabra de la nueva secuencia nunca repite la última palabra generada.
+     */
+    public void resetSequence() {
+        int lastIndex = permutation != null && position > 0 ? permutation.permute(position - 1) : -1;
+        do {
+            permutation = new FeistelPermutation(localWords.size(), random.nextLong());
+        } while (localWords.size() > 1 && permutation.permute(0) == lastIndex);
+        position = 0;
+    }
+
+    /**
+     * Genera una palabra aleatoria que puede escribirse usando únicamente los caracteres dados.
+     * Permite ejercicios como "solo las letras aprendidas hasta ahora".
+     * Nunca devuelve una palabra fuera del conjunto; si ninguna palabra lo cumple, el resultado está vacío.
+     * @param allowedCharacters Los caracteres permitidos, por ejemplo "aeiousmrtnlc".
+     * @return Una palabra seleccionada aleatoriamente, o un Optional vacío si ninguna palabra cumple la condición.
+     */
+    public Optional<String> generateWordFrom(String allowedCharacters) {
+        List<String> candidates = characterSetIndex.wordsUsingOnly(allowedCharacters);
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.get(random.nextInt(candidates.size())));
+    }
+
+    /**
+     * Indica si existe al menos una palabra que pueda escribirse usando únicamente los caracteres dados.
+     * @param allowedCharacters Los caracteres permitidos.
+     * @return true si {@link #generateWordFrom(String)} devuelve una palabra para el conjunto dado.
+     */
+    public boolean canGenerateFrom(String allowedCharacters) {
+        return !characterSetIndex.wordsUsingOnly(allowedCharacters).isEmpty();
     }
 }